@@ -1,16 +1,29 @@
 package ru.news;
 
+import com.liferay.portal.kernel.exception.PortalException;
+import com.liferay.portal.kernel.exception.SystemException;
+import com.liferay.portal.kernel.util.GetterUtil;
+import com.liferay.portal.kernel.util.ParamUtil;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.portlet.bind.annotation.RenderMapping;
+import org.springframework.web.portlet.bind.annotation.ResourceMapping;
 import ru.news.constant.NewsPortletConstant;
+import ru.news.mapper.JournalArticleFeedMap;
 import ru.news.model.JournalArticleDTO;
 import ru.news.service.JournalArticleDTOLocalServiceUtil;
-import ru.news.service.LocalisationLocalServiceUtil;
 
 import javax.portlet.RenderRequest;
 import javax.portlet.RenderResponse;
+import javax.portlet.ResourceRequest;
+import javax.portlet.ResourceResponse;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
 
 @Controller
 @RequestMapping("VIEW")
@@ -19,6 +32,10 @@ public class PortletViewController {
     private static final String PAGE_VIEW = "newsblock-mvcportlet/view";
     private static final String PAGE_NEWS = "newsblock-mvcportlet/news";
     private static final String RENDER_MAPPING_ACTION_PARAM_RENDER_SINGLE_NEWS_PAGE = "action=" + NewsPortletConstant.METHOD_GET_ACTION_PARAM_VALUE_RENDER_SINGLE_NEWS_PAGE;
+    private static final String CONTENT_TYPE_ATOM = "application/atom+xml;charset=UTF-8";
+    private static final String CONTENT_TYPE_JSON = "application/json;charset=UTF-8";
+    private static final String HEADER_FEED_SINCE = "X-Feed-Since";
+    private static final String HEADER_FEED_SINCE_ID = "X-Feed-Since-Id";
 
     @RenderMapping
     public String renderMainView(Model model) {
@@ -26,15 +43,54 @@ public class PortletViewController {
     }
 
     @RenderMapping(params = RENDER_MAPPING_ACTION_PARAM_RENDER_SINGLE_NEWS_PAGE)
-    public String renderSingleNewsView(RenderRequest request, RenderResponse response, Model model) {
+    public String renderSingleNewsView(RenderRequest request, RenderResponse response, Model model) throws PortalException, SystemException {
 
         long groupId = Long.parseLong(request.getParameter(NewsPortletConstant.RENDER_REQUEST_PARAM_GROUP_ID));
         String article = request.getParameter(NewsPortletConstant.RENDER_REQUEST_PARAM_ARTICLE_ID);
-        JournalArticleDTO journalArticleDTO = JournalArticleDTOLocalServiceUtil.getLatestVersion(groupId, article);
-
-        LocalisationLocalServiceUtil.localize(journalArticleDTO, request.getLocale());
+        JournalArticleDTO journalArticleDTO = JournalArticleDTOLocalServiceUtil.getLocalizedLatestVersion(groupId, article, request.getLocale());
 
         model.addAttribute("news", journalArticleDTO);
         return PAGE_NEWS;
     }
-}
\ No newline at end of file
+
+    /**
+     * Отдаёт ленту новостей (JSON или Atom), изменённых после метки (since, sinceId).
+     * Дельта читается одним ограниченным запросом, пустая дельта возвращается как 204 без тела.
+     * Ошибка базы данных не перехватывается и приводит к ответу 5xx.
+     */
+    @ResourceMapping(NewsPortletConstant.RESOURCE_ID_FEED)
+    public void serveFeed(ResourceRequest request, ResourceResponse response) throws IOException, SystemException {
+        long sinceTime = ParamUtil.getLong(request, NewsPortletConstant.RESOURCE_REQUEST_PARAM_SINCE);
+        long sinceId = ParamUtil.getLong(request, NewsPortletConstant.RESOURCE_REQUEST_PARAM_SINCE_ID);
+        String format = ParamUtil.getString(request, NewsPortletConstant.RESOURCE_REQUEST_PARAM_FORMAT);
+        Date since = sinceTime > 0 ? new Date(sinceTime) : null;
+        boolean enableArchiveNews = GetterUtil.getBoolean(request.getPreferences().getValue(NewsPortletConstant.ENABLE_ARCHIVE_NEWS, ""));
+
+        List<JournalArticleDTO> journalArticleDTOS = JournalArticleDTOLocalServiceUtil.getModifiedSinceJournalArticles(
+                since, sinceId, enableArchiveNews, request.getLocale(), NewsPortletConstant.FEED_MAX_ENTRIES);
+        if (journalArticleDTOS.isEmpty()) {
+            response.setProperty(ResourceResponse.HTTP_STATUS_CODE, String.valueOf(HttpServletResponse.SC_NO_CONTENT));
+            return;
+        }
+
+        String feed;
+        if (NewsPortletConstant.FEED_FORMAT_ATOM.equals(format)) {
+            response.setContentType(CONTENT_TYPE_ATOM);
+            feed = JournalArticleFeedMap.toAtom(journalArticleDTOS, since, NewsPortletConstant.FEED_TITLE, NewsPortletConstant.FEED_AUTHOR);
+        } else {
+            response.setContentType(CONTENT_TYPE_JSON);
+            feed = JournalArticleFeedMap.toJson(journalArticleDTOS, since, sinceId);
+        }
+        Date watermarkDate = JournalArticleFeedMap.getWatermarkDate(journalArticleDTOS, since);
+        response.setProperty(HEADER_FEED_SINCE, String.valueOf(watermarkDate != null ? watermarkDate.getTime() : 0));
+        response.setProperty(HEADER_FEED_SINCE_ID, String.valueOf(JournalArticleFeedMap.getWatermarkId(journalArticleDTOS, sinceId)));
+
+        // Сжатие ответа выполняет GZipFilter портала
+        OutputStream outputStream = response.getPortletOutputStream();
+        try {
+            outputStream.write(feed.getBytes(StandardCharsets.UTF_8));
+        } finally {
+            outputStream.close();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package ru.news.backgroundtask;
+
+import com.liferay.portal.kernel.backgroundtask.BackgroundTaskResult;
+import com.liferay.portal.kernel.backgroundtask.BaseBackgroundTaskExecutor;
+import com.liferay.portal.kernel.util.GetterUtil;
+import com.liferay.portal.model.BackgroundTask;
+import ru.news.service.JournalArticleExcerptLocalServiceUtil;
+
+/**
+ * Фоновая задача предвычисления данных существующих новостей компании.
+ * Задачи выполняются последовательно, позиция обхода хранится только внутри задачи.
+ */
+public class JournalArticleExcerptBackfillExecutor extends BaseBackgroundTaskExecutor {
+
+    public static final String TASK_CONTEXT_COMPANY_ID = "companyId";
+
+    public JournalArticleExcerptBackfillExecutor() {
+        setSerial(true);
+    }
+
+    @Override
+    public BackgroundTaskResult execute(BackgroundTask backgroundTask) throws Exception {
+        long companyId = GetterUtil.getLong(backgroundTask.getTaskContextMap().get(TASK_CONTEXT_COMPANY_ID));
+        JournalArticleExcerptLocalServiceUtil.backfill(companyId);
+        return BackgroundTaskResult.SUCCESS;
+    }
+}
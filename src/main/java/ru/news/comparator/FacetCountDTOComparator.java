@@ -0,0 +1,17 @@
+package ru.news.comparator;
+
+import ru.news.model.FacetCountDTO;
+
+import java.util.Comparator;
+
+public class FacetCountDTOComparator implements Comparator<FacetCountDTO> {
+
+    @Override
+    public int compare(FacetCountDTO o1, FacetCountDTO o2) {
+        int result = Long.compare(o1.getCount(), o2.getCount());
+        if (result != 0) {
+            return result;
+        }
+        return o2.getName().compareTo(o1.getName());
+    }
+}
@@ -0,0 +1,42 @@
+package ru.news.comparator;
+
+import com.liferay.portal.kernel.util.StringPool;
+import ru.news.model.JournalArticleSortKey;
+
+import java.text.Collator;
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * Порядок по заголовку на языке пользователя, при равенстве — по времени публикации и id.
+ * Такой порядок нельзя выразить в SQL: заголовок хранится в XML со всеми переводами.
+ */
+public class JournalArticleSortKeyComparator implements Comparator<JournalArticleSortKey> {
+
+    private final Collator collator;
+    private final boolean ascending;
+
+    public JournalArticleSortKeyComparator(Locale locale, boolean ascending) {
+        if (locale == null) {
+            throw new IllegalArgumentException("Can't compare titles with null locale.");
+        }
+        this.collator = Collator.getInstance(locale);
+        this.ascending = ascending;
+    }
+
+    @Override
+    public int compare(JournalArticleSortKey o1, JournalArticleSortKey o2) {
+        int result = collator.compare(getTitle(o1), getTitle(o2));
+        if (result == 0) {
+            result = Long.compare(o1.getPublishTime(), o2.getPublishTime());
+        }
+        if (result == 0) {
+            result = Long.compare(o1.getId(), o2.getId());
+        }
+        return ascending ? result : -result;
+    }
+
+    private static String getTitle(JournalArticleSortKey sortKey) {
+        return sortKey.getTitle() != null ? sortKey.getTitle() : StringPool.BLANK;
+    }
+}
@@ -2,9 +2,13 @@ package ru.news.config;
 
 import com.liferay.portal.kernel.portlet.ConfigurationAction;
 import com.liferay.portal.kernel.servlet.SessionMessages;
+import com.liferay.portal.kernel.util.Constants;
 import com.liferay.portal.kernel.util.ParamUtil;
+import com.liferay.portal.service.ServiceContextFactory;
+import com.liferay.portal.util.PortalUtil;
 import com.liferay.portlet.PortletPreferencesFactoryUtil;
 import ru.news.constant.NewsPortletConstant;
+import ru.news.service.JournalArticleExcerptLocalServiceUtil;
 
 import javax.portlet.*;
 
@@ -15,9 +19,22 @@ public class NewsPortletConfigurationActionImpl implements ConfigurationAction {
     @Override
     public void processAction(PortletConfig portletConfig, ActionRequest actionRequest, ActionResponse actionResponse) throws Exception {
         String portletResource = ParamUtil.getString(actionRequest, "portletResource");
-        String enableArchiveNews = ParamUtil.get(actionRequest, NewsPortletConstant.ENABLE_ARCHIVE_NEWS, "");
 
         PortletPreferences prefs = PortletPreferencesFactoryUtil.getPortletSetup(actionRequest, portletResource);
+
+        if (NewsPortletConstant.CMD_BACKFILL_EXCERPTS.equals(ParamUtil.getString(actionRequest, Constants.CMD))) {
+            boolean added = JournalArticleExcerptLocalServiceUtil.addBackfillTask(PortalUtil.getUserId(actionRequest), PortalUtil.getCompanyId(actionRequest),
+                    portletConfig.getPortletContext().getPortletContextName(), ServiceContextFactory.getInstance(actionRequest));
+            if (added) {
+                SessionMessages.add(actionRequest, NewsPortletConstant.ACTION_REQUEST_KEY_EXCERPTS_BACKFILL_STARTED);
+            } else {
+                SessionMessages.add(actionRequest, NewsPortletConstant.ACTION_REQUEST_KEY_EXCERPTS_BACKFILL_RUNNING);
+            }
+            return;
+        }
+
+        String enableArchiveNews = ParamUtil.get(actionRequest, NewsPortletConstant.ENABLE_ARCHIVE_NEWS, "");
+
         prefs.setValue(NewsPortletConstant.ENABLE_ARCHIVE_NEWS, enableArchiveNews);
         prefs.store();
 
@@ -6,10 +6,22 @@ public class NewsPortletConstant {
     public static final String PAGE_SEARCH = "/jsp/newsblock-mvcportlet/search.jsp";
     public static final String ENABLE_ARCHIVE_NEWS = "enableArchiveNews";
     public static final String ACTION_REQUEST_KEY_CONFIG_STORED = "config-stored";
+    public static final String ACTION_REQUEST_KEY_EXCERPTS_BACKFILL_STARTED = "excerpts-backfill-started";
+    public static final String ACTION_REQUEST_KEY_EXCERPTS_BACKFILL_RUNNING = "excerpts-backfill-running";
+    public static final String CMD_BACKFILL_EXCERPTS = "backfillExcerpts";
 
     public static final String RENDER_REQUEST_PARAM_GROUP_ID = "groupId";
     public static final String RENDER_REQUEST_PARAM_ARTICLE_ID = "articleId";
 
+    public static final String RESOURCE_ID_FEED = "feed";
+    public static final String RESOURCE_REQUEST_PARAM_SINCE = "since";
+    public static final String RESOURCE_REQUEST_PARAM_SINCE_ID = "sinceId";
+    public static final String RESOURCE_REQUEST_PARAM_FORMAT = "format";
+    public static final String FEED_FORMAT_ATOM = "atom";
+    public static final String FEED_TITLE = "News";
+    public static final String FEED_AUTHOR = "News portlet";
+    public static final int FEED_MAX_ENTRIES = 50;
+
     public static final String SEARCH_CONTAINER_COLUMN_PROPERTY_TITLE = "title";
     public static final String SEARCH_CONTAINER_COLUMN_PROPERTY_CONTENT = "content";
     public static final String SEARCH_CONTAINER_COLUMN_PROPERTY_PUBLISH_DATE = "publishDate";
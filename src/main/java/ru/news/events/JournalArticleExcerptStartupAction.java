@@ -0,0 +1,31 @@
+package ru.news.events;
+
+import com.liferay.portal.kernel.events.ActionException;
+import com.liferay.portal.kernel.events.SimpleAction;
+import com.liferay.portal.kernel.exception.PortalException;
+import com.liferay.portal.kernel.exception.SystemException;
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.util.GetterUtil;
+import ru.news.service.JournalArticleExcerptLocalServiceUtil;
+
+/**
+ * Создаёт Expando-колонку данных новостей при развёртывании портлета, чтобы предвычисление
+ * в транзакции workflow только записывало значение
+ */
+public class JournalArticleExcerptStartupAction extends SimpleAction {
+
+    private static Log log = LogFactoryUtil.getLog(JournalArticleExcerptStartupAction.class);
+
+    @Override
+    public void run(String[] ids) throws ActionException {
+        for (String id : ids) {
+            long companyId = GetterUtil.getLong(id);
+            try {
+                JournalArticleExcerptLocalServiceUtil.addExcerptColumn(companyId);
+            } catch (PortalException | SystemException e) {
+                log.error("Can't add excerpt column in company " + companyId + "." + e);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package ru.news.listener;
+
+import com.liferay.portal.ModelListenerException;
+import com.liferay.portal.kernel.exception.PortalException;
+import com.liferay.portal.kernel.exception.SystemException;
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.transaction.TransactionCommitCallbackRegistryUtil;
+import com.liferay.portal.kernel.workflow.WorkflowConstants;
+import com.liferay.portal.model.BaseModelListener;
+import com.liferay.portlet.journal.model.JournalArticle;
+import ru.news.service.JournalArticleExcerptLocalServiceUtil;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Предвычисляет данные новости, когда workflow переводит её в статус "опубликована" или "в архиве".
+ * Слушатель вызывается для всех статей портала, структурированные статьи пропускаются.
+ * Предвычисление выполняется после фиксации транзакции workflow в своей транзакции, поэтому его ошибка
+ * не откатывает смену статуса: она только логируется, а новость будет разобрана при просмотре.
+ */
+public class JournalArticleExcerptModelListener extends BaseModelListener<JournalArticle> {
+
+    private static Log log = LogFactoryUtil.getLog(JournalArticleExcerptModelListener.class);
+
+    @Override
+    public void onAfterUpdate(final JournalArticle journalArticle) throws ModelListenerException {
+        int status = journalArticle.getStatus();
+        if ((status != WorkflowConstants.STATUS_APPROVED) && (status != WorkflowConstants.STATUS_EXPIRED)) {
+            return;
+        }
+        if (!JournalArticleExcerptLocalServiceUtil.isSupported(journalArticle)) {
+            return;
+        }
+        TransactionCommitCallbackRegistryUtil.registerCallback(new Callable<Void>() {
+
+            @Override
+            public Void call() {
+                try {
+                    JournalArticleExcerptLocalServiceUtil.precompute(journalArticle);
+                } catch (PortalException | SystemException | RuntimeException e) {
+                    log.error("Can't precompute excerpt of JournalArticle " + journalArticle.getId() + "." + e);
+                }
+                return null;
+            }
+        });
+    }
+}
@@ -13,6 +13,9 @@ public class JournalArticleContentSAXMap {
     private static final Log log = LogFactoryUtil.getLog(JournalArticleContentSAXMap.class);
 
     public static String getContent(String journalArticleContent) {
+        if (journalArticleContent == null) {
+            return null;
+        }
         Document document = null;
         try {
             document = SAXReaderUtil.read(journalArticleContent);
@@ -23,6 +26,7 @@ public class JournalArticleContentSAXMap {
         if (document == null) return null;
 
         Node node = document.selectSingleNode(ROOT_STATIC_CONTENT);
+        if (node == null) return null;
         return node.getStringValue();
     }
 }
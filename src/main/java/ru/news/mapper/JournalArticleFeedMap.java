@@ -0,0 +1,107 @@
+package ru.news.mapper;
+
+import com.liferay.portal.kernel.json.JSONArray;
+import com.liferay.portal.kernel.json.JSONFactoryUtil;
+import com.liferay.portal.kernel.json.JSONObject;
+import com.liferay.portal.kernel.util.HtmlUtil;
+import com.liferay.portal.kernel.util.StringBundler;
+import ru.news.model.JournalArticleDTO;
+
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * Преобразует список {@link JournalArticleDTO} в ленту Atom или JSON.
+ * Метка ленты — (modifiedDate, id) последней записи, клиент передаёт её в следующем запросе.
+ */
+public class JournalArticleFeedMap {
+
+    private static final String ATOM_DATE_PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'";
+    private static final String ATOM_ENTRY_ID_PREFIX = "urn:news:";
+    private static final String ATOM_FEED_ID = ATOM_ENTRY_ID_PREFIX + "feed";
+
+    public static String toJson(List<JournalArticleDTO> journalArticleDTOS, Date since, long sinceId) {
+        if (journalArticleDTOS == null) {
+            throw new IllegalArgumentException("Can't convert null List<JournalArticleDTO> to feed.");
+        }
+        JSONArray entries = JSONFactoryUtil.createJSONArray();
+        for (JournalArticleDTO journalArticleDTO : journalArticleDTOS) {
+            JSONObject entry = JSONFactoryUtil.createJSONObject();
+            entry.put("id", journalArticleDTO.getId());
+            entry.put("groupId", journalArticleDTO.getGroupId());
+            entry.put("articleId", journalArticleDTO.getArticleId());
+            entry.put("title", journalArticleDTO.getTitle());
+            entry.put("content", journalArticleDTO.getContent());
+            entry.put("publishDate", getTime(journalArticleDTO.getPublishDate()));
+            entry.put("modifiedDate", getTime(journalArticleDTO.getModifiedDate()));
+            entries.put(entry);
+        }
+
+        JSONObject watermark = JSONFactoryUtil.createJSONObject();
+        watermark.put("since", getTime(getWatermarkDate(journalArticleDTOS, since)));
+        watermark.put("sinceId", getWatermarkId(journalArticleDTOS, sinceId));
+
+        JSONObject feed = JSONFactoryUtil.createJSONObject();
+        feed.put("watermark", watermark);
+        feed.put("entries", entries);
+        return feed.toString();
+    }
+
+    public static String toAtom(List<JournalArticleDTO> journalArticleDTOS, Date since, String title, String author) {
+        if (journalArticleDTOS == null) {
+            throw new IllegalArgumentException("Can't convert null List<JournalArticleDTO> to feed.");
+        }
+        DateFormat dateFormat = new SimpleDateFormat(ATOM_DATE_PATTERN);
+        dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+
+        Date updated = getWatermarkDate(journalArticleDTOS, since);
+        StringBundler sb = new StringBundler(10 + journalArticleDTOS.size() * 11);
+        sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+        sb.append("<feed xmlns=\"http://www.w3.org/2005/Atom\"><id>");
+        sb.append(ATOM_FEED_ID);
+        sb.append("</id><title>");
+        sb.append(HtmlUtil.escape(title));
+        sb.append("</title><updated>");
+        sb.append(dateFormat.format(updated != null ? updated : new Date(0)));
+        // RFC 4287 требует автора ленты, если он не указан в каждой записи
+        sb.append("</updated><author><name>");
+        sb.append(HtmlUtil.escape(author));
+        sb.append("</name></author>");
+        for (JournalArticleDTO journalArticleDTO : journalArticleDTOS) {
+            sb.append("<entry><id>");
+            sb.append(ATOM_ENTRY_ID_PREFIX + journalArticleDTO.getGroupId() + ":" + HtmlUtil.escape(journalArticleDTO.getArticleId()));
+            sb.append("</id><title>");
+            sb.append(HtmlUtil.escape(journalArticleDTO.getTitle()));
+            sb.append("</title><published>");
+            sb.append(dateFormat.format(journalArticleDTO.getPublishDate()));
+            sb.append("</published><updated>");
+            sb.append(dateFormat.format(journalArticleDTO.getModifiedDate()));
+            sb.append("</updated><content type=\"html\">");
+            sb.append(HtmlUtil.escape(journalArticleDTO.getContent()));
+            sb.append("</content></entry>");
+        }
+        sb.append("</feed>");
+        return sb.toString();
+    }
+
+    public static Date getWatermarkDate(List<JournalArticleDTO> journalArticleDTOS, Date since) {
+        if (journalArticleDTOS.isEmpty()) {
+            return since;
+        }
+        return journalArticleDTOS.get(journalArticleDTOS.size() - 1).getModifiedDate();
+    }
+
+    public static long getWatermarkId(List<JournalArticleDTO> journalArticleDTOS, long sinceId) {
+        if (journalArticleDTOS.isEmpty()) {
+            return sinceId;
+        }
+        return journalArticleDTOS.get(journalArticleDTOS.size() - 1).getId();
+    }
+
+    private static long getTime(Date date) {
+        return date != null ? date.getTime() : 0;
+    }
+}
@@ -2,6 +2,7 @@ package ru.news.mapper;
 
 import com.liferay.portal.kernel.exception.PortalException;
 import com.liferay.portal.kernel.exception.SystemException;
+import com.liferay.portal.kernel.json.JSONObject;
 import com.liferay.portal.kernel.log.Log;
 import com.liferay.portal.kernel.log.LogFactoryUtil;
 import com.liferay.portlet.asset.model.AssetCategory;
@@ -21,44 +22,33 @@ public class JournalArticleMap {
     private static Log log = LogFactoryUtil.getLog(JournalArticleMap.class);
 
     public static JournalArticleDTO toDto(JournalArticle journalArticle) {
-        if (journalArticle == null) {
-            throw new IllegalArgumentException("Can't convert null JournalArticle.");
-        }
-        JournalArticleDTO journalArticleDTO = new JournalArticleDTO();
-
-        journalArticleDTO.setGroupId(journalArticle.getGroupId());
-        journalArticleDTO.setArticleId(journalArticle.getArticleId());
+        JournalArticleDTO journalArticleDTO = toBaseDto(journalArticle);
 
         journalArticleDTO.setTitle(journalArticle.getTitle());
         journalArticleDTO.setContent(journalArticle.getContent());
 
-        journalArticleDTO.setPublishDate(journalArticle.getCreateDate());
-
-        List<String> tags = new ArrayList<>();
-        List<String> categories = new ArrayList<>();
-        try {
-            AssetEntry assetEntry = AssetEntryLocalServiceUtil.getEntry(journalArticle.getGroupId(), journalArticle.getArticleResourceUuid());
-            List<AssetTag> assetEntryAssetTags = AssetTagLocalServiceUtil.getAssetEntryAssetTags(assetEntry.getEntryId());
-            if (!assetEntryAssetTags.isEmpty()) {
-                log.info("Get List<AssetTag> by assetEntryId " + assetEntry.getEntryId());
-                for (AssetTag assetTag : assetEntryAssetTags) {
-                    tags.add(assetTag.getName());
-                }
-            }
-            journalArticleDTO.setTags(tags);
-
-            List<AssetCategory> assetCategories = AssetCategoryLocalServiceUtil.getCategories(JournalArticle.class.getName(), journalArticle.getResourcePrimKey());
-            if (!assetCategories.isEmpty()) {
-                log.info("Get List<AssetCategory> by className " + JournalArticle.class.getSimpleName() + " and resourcePrimKey " + journalArticle.getResourcePrimKey());
-                for (AssetCategory assetCategory : assetCategories) {
-                    categories.add(assetCategory.getName());
-                }
-            }
-            journalArticleDTO.setCategory(categories);
+        setAssetNames(journalArticleDTO, journalArticle);
+        return journalArticleDTO;
+    }
 
-        } catch (PortalException | SystemException e) {
-            log.error("Problem with AssetEntry, AssetTag, AssetCategory." + e);
+    /**
+     * Собирает переведённую новость из предвычисленных заголовков и контента, без разбора XML контента
+     *
+     * @param journalArticle сущность новости
+     * @param excerpt        предвычисленные данные {@link ru.news.service.JournalArticleExcerptLocalServiceUtil}
+     * @param languageId     язык пользователя
+     */
+    public static JournalArticleDTO toDto(JournalArticle journalArticle, JSONObject excerpt, String languageId) {
+        if (excerpt == null) {
+            throw new IllegalArgumentException("Can't convert JournalArticle with null excerpt.");
         }
+        JournalArticleDTO journalArticleDTO = toBaseDto(journalArticle);
+
+        journalArticleDTO.setTitle(getLocalized(excerpt.getJSONObject("titles"), languageId, journalArticle.getDefaultLanguageId()));
+        journalArticleDTO.setContent(getLocalized(excerpt.getJSONObject("contents"), languageId, journalArticle.getDefaultLanguageId()));
+
+        // Тэги и категории могут меняться без новой версии статьи, поэтому читаются при каждом просмотре
+        setAssetNames(journalArticleDTO, journalArticle);
         return journalArticleDTO;
     }
 
@@ -74,4 +64,65 @@ public class JournalArticleMap {
         return journalArticleDTOS;
     }
 
+    public static List<String> getTagNames(JournalArticle journalArticle) throws PortalException, SystemException {
+        List<String> tags = new ArrayList<>();
+        AssetEntry assetEntry = AssetEntryLocalServiceUtil.getEntry(journalArticle.getGroupId(), journalArticle.getArticleResourceUuid());
+        List<AssetTag> assetEntryAssetTags = AssetTagLocalServiceUtil.getAssetEntryAssetTags(assetEntry.getEntryId());
+        if (!assetEntryAssetTags.isEmpty()) {
+            log.info("Get List<AssetTag> by assetEntryId " + assetEntry.getEntryId());
+            for (AssetTag assetTag : assetEntryAssetTags) {
+                tags.add(assetTag.getName());
+            }
+        }
+        return tags;
+    }
+
+    public static List<String> getCategoryNames(JournalArticle journalArticle) throws SystemException {
+        List<String> categories = new ArrayList<>();
+        List<AssetCategory> assetCategories = AssetCategoryLocalServiceUtil.getCategories(JournalArticle.class.getName(), journalArticle.getResourcePrimKey());
+        if (!assetCategories.isEmpty()) {
+            log.info("Get List<AssetCategory> by className " + JournalArticle.class.getSimpleName() + " and resourcePrimKey " + journalArticle.getResourcePrimKey());
+            for (AssetCategory assetCategory : assetCategories) {
+                categories.add(assetCategory.getName());
+            }
+        }
+        return categories;
+    }
+
+    private static void setAssetNames(JournalArticleDTO journalArticleDTO, JournalArticle journalArticle) {
+        try {
+            journalArticleDTO.setTags(getTagNames(journalArticle));
+            journalArticleDTO.setCategory(getCategoryNames(journalArticle));
+        } catch (PortalException | SystemException e) {
+            log.error("Problem with AssetEntry, AssetTag, AssetCategory." + e);
+        }
+    }
+
+    private static JournalArticleDTO toBaseDto(JournalArticle journalArticle) {
+        if (journalArticle == null) {
+            throw new IllegalArgumentException("Can't convert null JournalArticle.");
+        }
+        JournalArticleDTO journalArticleDTO = new JournalArticleDTO();
+
+        journalArticleDTO.setId(journalArticle.getId());
+        journalArticleDTO.setGroupId(journalArticle.getGroupId());
+        journalArticleDTO.setArticleId(journalArticle.getArticleId());
+        journalArticleDTO.setVersion(journalArticle.getVersion());
+        journalArticleDTO.setStatus(journalArticle.getStatus());
+
+        journalArticleDTO.setPublishDate(journalArticle.getCreateDate());
+        journalArticleDTO.setModifiedDate(journalArticle.getModifiedDate());
+        return journalArticleDTO;
+    }
+
+    private static String getLocalized(JSONObject values, String languageId, String defaultLanguageId) {
+        if (values == null) {
+            return null;
+        }
+        if (values.has(languageId)) {
+            return values.getString(languageId);
+        }
+        return values.getString(defaultLanguageId);
+    }
+
 }
@@ -0,0 +1,33 @@
+package ru.news.model;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+@Data
+public class FacetCountDTO implements Serializable {
+
+    private String name;
+    private long count;
+
+    public FacetCountDTO(String name, long count) {
+        this.name = name;
+        this.count = count;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
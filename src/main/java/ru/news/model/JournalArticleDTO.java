@@ -2,20 +2,33 @@ package ru.news.model;
 
 import lombok.Data;
 
+import java.io.Serializable;
 import java.util.Date;
 import java.util.List;
 
 @Data
-public class JournalArticleDTO {
+public class JournalArticleDTO implements Serializable {
 
+    private long id;
     private long groupId;
     private String articleId;
+    private double version;
+    private int status;
     private String title;
     private String content;
     private Date publishDate;
+    private Date modifiedDate;
     private List<String> tags;
     private List<String> category;
 
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
     public long getGroupId() {
         return groupId;
     }
@@ -32,6 +45,22 @@ public class JournalArticleDTO {
         this.articleId = articleId;
     }
 
+    public double getVersion() {
+        return version;
+    }
+
+    public void setVersion(double version) {
+        this.version = version;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -56,6 +85,14 @@ public class JournalArticleDTO {
         this.publishDate = publishDate;
     }
 
+    public Date getModifiedDate() {
+        return modifiedDate;
+    }
+
+    public void setModifiedDate(Date modifiedDate) {
+        this.modifiedDate = modifiedDate;
+    }
+
     public List<String> getTags() {
         return tags;
     }
@@ -0,0 +1,30 @@
+package ru.news.model;
+
+/**
+ * Ключ сортировки новости: id, время публикации в миллисекундах и заголовок на языке пользователя.
+ * Используется при потоковом отборе страницы вместо полного {@link JournalArticleDTO}.
+ */
+public class JournalArticleSortKey {
+
+    private final long id;
+    private final long publishTime;
+    private final String title;
+
+    public JournalArticleSortKey(long id, long publishTime, String title) {
+        this.id = id;
+        this.publishTime = publishTime;
+        this.title = title;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getPublishTime() {
+        return publishTime;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+}
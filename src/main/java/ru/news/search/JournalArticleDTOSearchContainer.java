@@ -1,6 +1,7 @@
 package ru.news.search;
 
 import com.liferay.portal.kernel.dao.search.SearchContainer;
+import com.liferay.portal.kernel.util.ParamUtil;
 import ru.news.model.JournalArticleDTO;
 
 import javax.portlet.PortletRequest;
@@ -14,6 +15,7 @@ public class JournalArticleDTOSearchContainer extends SearchContainer<JournalArt
     private static final String TITLE = "title";
     private static final String TAG = "tag";
     private static final String CATEGORY = "category";
+    private static final String ORDER_BY_TYPE_ASC = "asc";
 
     private static final List<String> HEADER_NAMES = null;
 
@@ -23,5 +25,21 @@ public class JournalArticleDTOSearchContainer extends SearchContainer<JournalArt
         iteratorURL.setParameter(TITLE, displayTerms.getTitle());
         iteratorURL.setParameter(TAG, displayTerms.getTag());
         iteratorURL.setParameter(CATEGORY, displayTerms.getCategory());
+
+        setOrderByCol(ParamUtil.getString(portletRequest, getOrderByColParam()));
+        setOrderByType(ParamUtil.getString(portletRequest, getOrderByTypeParam(), ORDER_BY_TYPE_ASC));
+        iteratorURL.setParameter(getOrderByColParam(), getOrderByCol());
+        iteratorURL.setParameter(getOrderByTypeParam(), getOrderByType());
+    }
+
+    /**
+     * Новости отсортированы по заголовку на языке пользователя
+     */
+    public boolean isOrderByTitle() {
+        return TITLE.equals(getOrderByCol());
+    }
+
+    public boolean isOrderByAsc() {
+        return ORDER_BY_TYPE_ASC.equals(getOrderByType());
     }
 }
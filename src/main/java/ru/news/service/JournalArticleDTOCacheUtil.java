@@ -0,0 +1,37 @@
+package ru.news.service;
+
+import com.liferay.portal.kernel.cache.PortalCache;
+import com.liferay.portal.kernel.cache.SingleVMPoolUtil;
+import com.liferay.portal.kernel.util.StringPool;
+import ru.news.model.JournalArticleDTO;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Кэш переведённых {@link JournalArticleDTO}. Актуальность записи проверяется в
+ * {@link JournalArticleDTOLocalServiceUtil#isActual(JournalArticleDTO)} перед выдачей, записи страницы проверяются одним запросом
+ * в {@link JournalArticleDTOLocalServiceUtil#revalidate(List, Locale)}.
+ */
+public class JournalArticleDTOCacheUtil {
+
+    private static final String CACHE_NAME = JournalArticleDTOCacheUtil.class.getName();
+
+    @SuppressWarnings("unchecked")
+    private static PortalCache<String, JournalArticleDTO> portalCache = (PortalCache<String, JournalArticleDTO>) SingleVMPoolUtil.getCache(CACHE_NAME);
+
+    public static JournalArticleDTO get(long groupId, String articleId, Locale locale) {
+        return portalCache.get(getKey(groupId, articleId, locale));
+    }
+
+    public static void put(JournalArticleDTO journalArticleDTO, Locale locale) {
+        if (journalArticleDTO == null) {
+            throw new IllegalArgumentException("Can't cache null JournalArticleDTO.");
+        }
+        portalCache.put(getKey(journalArticleDTO.getGroupId(), journalArticleDTO.getArticleId(), locale), journalArticleDTO);
+    }
+
+    private static String getKey(long groupId, String articleId, Locale locale) {
+        return groupId + StringPool.UNDERLINE + articleId + StringPool.UNDERLINE + locale;
+    }
+}
@@ -5,8 +5,12 @@ import com.liferay.portal.kernel.exception.PortalException;
 import com.liferay.portal.kernel.exception.SystemException;
 import com.liferay.portal.kernel.log.Log;
 import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.util.GetterUtil;
 import com.liferay.portal.kernel.util.ListUtil;
+import com.liferay.portal.kernel.util.LocaleUtil;
+import com.liferay.portal.kernel.util.LocalizationUtil;
 import com.liferay.portal.kernel.util.PortalClassLoaderUtil;
+import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.kernel.util.Validator;
 import com.liferay.portal.kernel.workflow.WorkflowConstants;
 import com.liferay.portlet.asset.model.AssetCategory;
@@ -17,14 +21,20 @@ import com.liferay.portlet.asset.service.AssetEntryLocalServiceUtil;
 import com.liferay.portlet.asset.service.AssetTagLocalServiceUtil;
 import com.liferay.portlet.journal.model.JournalArticle;
 import com.liferay.portlet.journal.service.JournalArticleLocalServiceUtil;
-import ru.news.comparator.JournalArticleDTOComparator;
 import ru.news.mapper.JournalArticleMap;
 import ru.news.model.JournalArticleDTO;
+import ru.news.model.JournalArticleSortKey;
 import ru.news.search.JournalArticleDTODisplayTerms;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
 
 public class JournalArticleDTOLocalServiceUtil {
 
@@ -36,60 +46,206 @@ public class JournalArticleDTOLocalServiceUtil {
     private static final String PROPERTY_ARTICLE = "articleId";
     private static final String PROPERTY_VERSION = "version";
     private static final String PROPERTY_UUID = "uuid";
+    private static final String PROPERTY_ID = "id";
+    private static final String PROPERTY_GROUP_ID = "groupId";
+    private static final String PROPERTY_MODIFIED_DATE = "modifiedDate";
+    private static final String PROPERTY_CREATE_DATE = "createDate";
+    private static final int STREAM_CHUNK_SIZE = 500;
     private static Log log = LogFactoryUtil.getLog(JournalArticleDTOLocalServiceUtil.class);
 
     /**
-     * Возвращает последнюю версию WebContent {@link JournalArticleDTO}
+     * Возвращает переведённую последнюю версию новости. Закэшированная новость отдаётся, если она совпадает
+     * с проекцией (id, version, status, modifiedDate), иначе сущность загружается и переводится заново.
      *
-     * @param articleId ID {@link JournalArticle}
      * @param groupId   groupId {@link JournalArticle}
+     * @param articleId ID {@link JournalArticle}
+     * @param locale    язык пользователя
+     * @throws PortalException если новости нет
      */
-    public static JournalArticleDTO getLatestVersion(long groupId, String articleId) {
+    public static JournalArticleDTO getLocalizedLatestVersion(long groupId, String articleId, Locale locale) throws PortalException, SystemException {
         if ((groupId == 0) || (articleId == null)) {
             throw new IllegalArgumentException("Can't get latest version journal article by groupId " + groupId + " and articleId " + articleId);
         }
-        JournalArticle journalArticle = null;
-        try {
-            journalArticle = JournalArticleLocalServiceUtil.getLatestArticle(groupId, articleId);
-        } catch (PortalException | SystemException e) {
-            log.error("Can't get JournalArticles last version by groupId " + groupId + " and articleId " + articleId + "." + e);
+        JournalArticleDTO journalArticleDTO = JournalArticleDTOCacheUtil.get(groupId, articleId, locale);
+        if ((journalArticleDTO != null) && isActual(journalArticleDTO)) {
+            return journalArticleDTO;
+        }
+        journalArticleDTO = loadLocalized(groupId, articleId, locale);
+        JournalArticleDTOCacheUtil.put(journalArticleDTO, locale);
+        return journalArticleDTO;
+    }
+
+    /**
+     * Проверяет, что новость соответствует последней версии {@link JournalArticle}, без загрузки контента
+     *
+     * @param journalArticleDTO закэшированная новость
+     */
+    public static boolean isActual(JournalArticleDTO journalArticleDTO) {
+        if (journalArticleDTO == null) {
+            throw new IllegalArgumentException("Can't validate null JournalArticleDTO.");
         }
-        return JournalArticleMap.toDto(journalArticle);
+        Object[] projection = getLatestVersionProjection(journalArticleDTO.getGroupId(), journalArticleDTO.getArticleId());
+        return isActual(journalArticleDTO, projection);
     }
 
     /**
-     * Возвращает новости из запроса {@link DynamicQuery}
+     * Проверяет список новостей одним запросом проекции по парам (groupId, articleId) страницы.
+     * Совпавшие новости возвращаются как есть, устаревшие загружаются одним запросом по id и переводятся заново,
+     * удалённые исключаются из списка. Порядок списка сохраняется.
      *
-     * @param dynamicQuery для поиска {@link JournalArticle}
+     * @param journalArticleDTOS закэшированные новости
+     * @param locale             язык пользователя
      */
-    private static List<JournalArticleDTO> getDynamicQuery(DynamicQuery dynamicQuery) {
-        if (dynamicQuery == null) {
-            throw new IllegalArgumentException("Empty DynamicQuery.");
+    public static List<JournalArticleDTO> revalidate(List<JournalArticleDTO> journalArticleDTOS, Locale locale) throws SystemException {
+        if (journalArticleDTOS == null) {
+            throw new IllegalArgumentException("Can't validate null List<JournalArticleDTO>.");
+        }
+        if (journalArticleDTOS.isEmpty()) {
+            return journalArticleDTOS;
+        }
+        Map<String, Object[]> projections = getLatestVersionProjections(journalArticleDTOS);
+
+        List<Long> staleIds = new ArrayList<>();
+        for (JournalArticleDTO journalArticleDTO : journalArticleDTOS) {
+            Object[] projection = projections.get(getArticleKey(journalArticleDTO.getGroupId(), journalArticleDTO.getArticleId()));
+            if ((projection != null) && !isActual(journalArticleDTO, projection)) {
+                staleIds.add(GetterUtil.getLong(projection[0]));
+            }
+        }
+        Map<Long, JournalArticle> staleJournalArticles = staleIds.isEmpty()
+                ? new HashMap<Long, JournalArticle>() : getJournalArticlesByIds(staleIds);
+        Map<Long, String> excerpts = JournalArticleExcerptLocalServiceUtil.getExcerpts(new ArrayList<>(staleJournalArticles.values()));
+
+        List<JournalArticleDTO> actualJournalArticleDTOS = new ArrayList<>(journalArticleDTOS.size());
+        for (JournalArticleDTO journalArticleDTO : journalArticleDTOS) {
+            Object[] projection = projections.get(getArticleKey(journalArticleDTO.getGroupId(), journalArticleDTO.getArticleId()));
+            if (projection == null) {
+                continue;
+            }
+            if (isActual(journalArticleDTO, projection)) {
+                actualJournalArticleDTOS.add(journalArticleDTO);
+                continue;
+            }
+            JournalArticle journalArticle = staleJournalArticles.get(GetterUtil.getLong(projection[0]));
+            if (journalArticle != null) {
+                JournalArticleDTO reloadedJournalArticleDTO = toLocalizedDto(journalArticle, excerpts.get(journalArticle.getId()), locale);
+                JournalArticleDTOCacheUtil.put(reloadedJournalArticleDTO, locale);
+                actualJournalArticleDTOS.add(reloadedJournalArticleDTO);
+            }
         }
-        List<JournalArticle> journalArticleList = null;
+        log.info("Revalidate " + journalArticleDTOS.size() + " JournalArticleDTO, reloaded " + staleJournalArticles.size() + ".");
+        return actualJournalArticleDTOS;
+    }
+
+    /**
+     * Загружает последнюю версию {@link JournalArticle} и переводит её
+     *
+     * @throws PortalException если новости нет
+     */
+    private static JournalArticleDTO loadLocalized(long groupId, String articleId, Locale locale) throws PortalException, SystemException {
+        JournalArticle journalArticle = JournalArticleLocalServiceUtil.getLatestArticle(groupId, articleId);
+        Map<Long, String> excerpts = JournalArticleExcerptLocalServiceUtil.getExcerpts(Collections.singletonList(journalArticle));
+        return toLocalizedDto(journalArticle, excerpts.get(journalArticle.getId()), locale);
+    }
+
+    /**
+     * Возвращает переведённую новость из данных, предвычисленных при публикации, а если их нет — разбирает сущность
+     *
+     * @param journalArticle сущность новости
+     * @param excerpt        предвычисленные данные из {@link JournalArticleExcerptLocalServiceUtil#getExcerpts(List)} или null
+     * @param locale         язык пользователя
+     */
+    private static JournalArticleDTO toLocalizedDto(JournalArticle journalArticle, String excerpt, Locale locale) {
+        JournalArticleDTO journalArticleDTO = JournalArticleExcerptLocalServiceUtil.toDto(journalArticle, excerpt, locale);
+        if (journalArticleDTO != null) {
+            return journalArticleDTO;
+        }
+        journalArticleDTO = JournalArticleMap.toDto(journalArticle);
+        LocalisationLocalServiceUtil.localize(journalArticleDTO, journalArticle, locale);
+        return journalArticleDTO;
+    }
+
+    /**
+     * Возвращает проекцию (id, version, status, modifiedDate, groupId, articleId) последней версии новости или null, если её нет.
+     * Запрос ограничен groupId и articleId, подзапрос максимальной версии связан с ними же.
+     *
+     * @param groupId   groupId {@link JournalArticle}
+     * @param articleId ID {@link JournalArticle}
+     */
+    private static Object[] getLatestVersionProjection(long groupId, String articleId) {
+        ClassLoader classLoader = PortalClassLoaderUtil.getClassLoader();
+        DynamicQuery dynamicQuery = DynamicQueryFactoryUtil.forClass(JournalArticle.class, "journalArticle", classLoader)
+                .add(PropertyFactoryUtil.forName(PROPERTY_GROUP_ID).eq(groupId))
+                .add(PropertyFactoryUtil.forName(PROPERTY_ARTICLE).eq(articleId))
+                .add(getCorrelatedLatestVersionCriterion(classLoader))
+                .setProjection(getVersionProjection());
+
+        List<Object[]> rows = new ArrayList<>();
         try {
-            journalArticleList = JournalArticleLocalServiceUtil.dynamicQuery(dynamicQuery);
+            rows = JournalArticleLocalServiceUtil.dynamicQuery(dynamicQuery);
         } catch (SystemException e) {
-            log.error("Can't get DynamicQuery from JournalArticleLocalServiceUtil." + e);
+            log.error("Can't get version projection of JournalArticle by groupId " + groupId + " and articleId " + articleId + "." + e);
         }
+        return rows.isEmpty() ? null : rows.get(0);
+    }
 
-        if (journalArticleList == null) {
-            throw new IllegalArgumentException("Can't work with null List<JournalArticle>.");
+    /**
+     * Возвращает проекции последних версий новостей списка одним запросом, ключ — {@link #getArticleKey(long, String)}.
+     * Условие — дизъюнкция пар (groupId, articleId), поэтому статьи с одинаковым articleId в разных группах не смешиваются.
+     *
+     * @param journalArticleDTOS новости
+     */
+    private static Map<String, Object[]> getLatestVersionProjections(List<JournalArticleDTO> journalArticleDTOS) throws SystemException {
+        Junction articles = RestrictionsFactoryUtil.disjunction();
+        for (JournalArticleDTO journalArticleDTO : journalArticleDTOS) {
+            Junction article = RestrictionsFactoryUtil.conjunction();
+            article.add(PropertyFactoryUtil.forName(PROPERTY_GROUP_ID).eq(journalArticleDTO.getGroupId()));
+            article.add(PropertyFactoryUtil.forName(PROPERTY_ARTICLE).eq(journalArticleDTO.getArticleId()));
+            articles.add(article);
         }
+        ClassLoader classLoader = PortalClassLoaderUtil.getClassLoader();
+        DynamicQuery dynamicQuery = DynamicQueryFactoryUtil.forClass(JournalArticle.class, "journalArticle", classLoader)
+                .add(articles)
+                .add(getCorrelatedLatestVersionCriterion(classLoader))
+                .setProjection(getVersionProjection());
 
-       /* HashMap<String, JournalArticleDTO> journalArticleHashMap = new HashMap<>();
-        for (JournalArticle journalArticle : journalArticleList) {
-            String articleId = journalArticle.getArticleId();
-            if (!journalArticleHashMap.containsKey(articleId)) {
-                journalArticleHashMap.put(articleId, getLatestVersion(journalArticle.getGroupId(), journalArticle.getArticleId()));
-            }
-        }*/
-        log.info("Get List<JournalArticleDTO> by DynamicQuery and there is " + journalArticleList.size() + " elements.");
-        return JournalArticleMap.toDto(journalArticleList);
+        List<Object[]> rows = JournalArticleLocalServiceUtil.dynamicQuery(dynamicQuery);
+        Map<String, Object[]> projections = new HashMap<>();
+        for (Object[] row : rows) {
+            projections.put(getArticleKey(GetterUtil.getLong(row[4]), GetterUtil.getString(row[5])), row);
+        }
+        return projections;
+    }
+
+    private static Projection getVersionProjection() {
+        return ProjectionFactoryUtil.projectionList()
+                .add(ProjectionFactoryUtil.property(PROPERTY_ID))
+                .add(ProjectionFactoryUtil.property(PROPERTY_VERSION))
+                .add(ProjectionFactoryUtil.property(PROPERTY_STATUS))
+                .add(ProjectionFactoryUtil.property(PROPERTY_MODIFIED_DATE))
+                .add(ProjectionFactoryUtil.property(PROPERTY_GROUP_ID))
+                .add(ProjectionFactoryUtil.property(PROPERTY_ARTICLE));
+    }
+
+    private static String getArticleKey(long groupId, String articleId) {
+        return groupId + StringPool.UNDERLINE + articleId;
+    }
+
+    private static boolean isActual(JournalArticleDTO journalArticleDTO, Object[] projection) {
+        if (projection == null) {
+            return false;
+        }
+        Date modifiedDate = (Date) projection[3];
+        return (journalArticleDTO.getId() == GetterUtil.getLong(projection[0]))
+                && (Double.compare(journalArticleDTO.getVersion(), GetterUtil.getDouble(projection[1])) == 0)
+                && (journalArticleDTO.getStatus() == GetterUtil.getInteger(projection[2]))
+                && (journalArticleDTO.getModifiedDate() != null) && (modifiedDate != null)
+                && (journalArticleDTO.getModifiedDate().getTime() == modifiedDate.getTime());
     }
 
     /**
-     * Возвращает список новостей из поиска, список фиксированного размера
+     * Возвращает список новостей из поиска, список фиксированного размера.
+     * Сортировка по дате публикации и выборка страницы выполняются в SQL.
      *
      * @param displayTerms параметры запроса
      * @param start        номер первой записи
@@ -99,13 +255,98 @@ public class JournalArticleDTOLocalServiceUtil {
         if (displayTerms == null) {
             throw new IllegalArgumentException("Can't get JournalArticle with null JournalArticleDTODisplayTerms.");
         }
-        Locale locale = displayTerms.getLocale();
-        DynamicQuery dynamicQuery = getJournalArticleDynamicQuery(displayTerms);
-        List<JournalArticleDTO> articleDTOS = getJournalArticleData(dynamicQuery, locale);
-        if (articleDTOS == null) {
-            throw new IllegalArgumentException("Haven't JournalArticle's data from search.");
+        DynamicQuery dynamicQuery = getJournalArticleDynamicQuery(displayTerms)
+                .setProjection(getSortKeyProjection())
+                .addOrder(OrderFactoryUtil.desc(PROPERTY_CREATE_DATE))
+                .addOrder(OrderFactoryUtil.desc(PROPERTY_ID));
+
+        List<Object[]> rows = new ArrayList<>();
+        try {
+            rows = JournalArticleLocalServiceUtil.dynamicQuery(dynamicQuery, start, end);
+        } catch (SystemException e) {
+            log.error("Can't get sort keys of JournalArticles from " + start + " to " + end + "." + e);
+        }
+        List<JournalArticleSortKey> sortKeys = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            sortKeys.add(toSortKey(row, null));
         }
-        return ListUtil.subList(articleDTOS, start, end);
+        return getJournalArticleData(sortKeys, displayTerms.getLocale());
+    }
+
+    /**
+     * Возвращает список новостей из поиска в порядке, который нельзя выразить в SQL, например по заголовку
+     * на языке пользователя. Ключи сортировки (id, createDate, заголовок) читаются порциями по id (keyset),
+     * в куче остаётся не больше end лучших записей: память O(end), а не O(количества найденных новостей).
+     * Полностью загружается и переводится только страница.
+     *
+     * @param displayTerms параметры запроса
+     * @param start        номер первой записи
+     * @param end          номер последней записи, неограниченная выборка не поддерживается
+     * @param order        порядок новостей на странице
+     */
+    public static List<JournalArticleDTO> getJournalArticles(JournalArticleDTODisplayTerms displayTerms, int start, int end, Comparator<JournalArticleSortKey> order) {
+        if ((displayTerms == null) || (order == null)) {
+            throw new IllegalArgumentException("Can't get JournalArticle with displayTerms " + displayTerms + " and order " + order + ".");
+        }
+        if ((start < 0) || (end < start)) {
+            throw new IllegalArgumentException("Can't get JournalArticle in memory order from " + start + " to " + end + ".");
+        }
+        ClassLoader classLoader = PortalClassLoaderUtil.getClassLoader();
+        Junction criterion = getJournalArticleCriterion(displayTerms, classLoader);
+        String languageId = LocaleUtil.toLanguageId(displayTerms.getLocale());
+
+        // В вершине кучи худшая из отобранных записей
+        PriorityQueue<JournalArticleSortKey> heap = new PriorityQueue<>(Math.min(end, STREAM_CHUNK_SIZE) + 1, order.reversed());
+
+        long lastId = 0;
+        int scanned = 0;
+        List<Object[]> rows;
+        do {
+            DynamicQuery dynamicQuery = DynamicQueryFactoryUtil.forClass(JournalArticle.class, "journalArticle", classLoader)
+                    .add(criterion)
+                    .add(PropertyFactoryUtil.forName(PROPERTY_ID).gt(lastId))
+                    .setProjection(getSortKeyProjection())
+                    .addOrder(OrderFactoryUtil.asc(PROPERTY_ID));
+            rows = new ArrayList<>();
+            try {
+                rows = JournalArticleLocalServiceUtil.dynamicQuery(dynamicQuery, 0, STREAM_CHUNK_SIZE);
+            } catch (SystemException e) {
+                log.error("Can't get sort keys of JournalArticles after id " + lastId + "." + e);
+            }
+            for (Object[] row : rows) {
+                JournalArticleSortKey sortKey = toSortKey(row, languageId);
+                heap.offer(sortKey);
+                if (heap.size() > end) {
+                    heap.poll();
+                }
+                lastId = sortKey.getId();
+            }
+            scanned += rows.size();
+        } while (rows.size() == STREAM_CHUNK_SIZE);
+
+        List<JournalArticleSortKey> sortKeys = new ArrayList<>(heap);
+        sortKeys.sort(order);
+        log.info("Scan " + scanned + " sort keys of JournalArticles and keep " + sortKeys.size() + ".");
+        return getJournalArticleData(ListUtil.subList(sortKeys, start, end), displayTerms.getLocale());
+    }
+
+    private static Projection getSortKeyProjection() {
+        return ProjectionFactoryUtil.projectionList()
+                .add(ProjectionFactoryUtil.property(PROPERTY_ID))
+                .add(ProjectionFactoryUtil.property(PROPERTY_CREATE_DATE))
+                .add(ProjectionFactoryUtil.property(PROPERTY_TITLE));
+    }
+
+    /**
+     * Возвращает ключ сортировки строки проекции. Заголовок извлекается из XML переводов, только если задан язык.
+     *
+     * @param row        строка (id, createDate, title)
+     * @param languageId язык заголовка или null
+     */
+    private static JournalArticleSortKey toSortKey(Object[] row, String languageId) {
+        Date createDate = (Date) row[1];
+        String title = languageId != null ? LocalizationUtil.getLocalization(GetterUtil.getString(row[2]), languageId) : null;
+        return new JournalArticleSortKey(GetterUtil.getLong(row[0]), createDate != null ? createDate.getTime() : 0, title);
     }
 
     /**
@@ -127,15 +368,50 @@ public class JournalArticleDTOLocalServiceUtil {
     }
 
     /**
-     * Возвращает список новостей из запроса.
+     * Загружает и переводит новости страницы в порядке ключей сортировки.
      *
-     * @param dynamicQuery запрос
-     * @param locale       язык пользователя
+     * @param sortKeys ключи сортировки записей страницы
+     * @param locale   язык пользователя
      */
-    private static List<JournalArticleDTO> getJournalArticleData(DynamicQuery dynamicQuery, Locale locale) {
-        List<JournalArticleDTO> journalArticles = getDynamicQuery(dynamicQuery);
-        LocalisationLocalServiceUtil.localize(journalArticles, locale);
-        journalArticles.sort(new JournalArticleDTOComparator().reversed());
+    private static List<JournalArticleDTO> getJournalArticleData(List<JournalArticleSortKey> sortKeys, Locale locale) {
+        List<JournalArticleDTO> journalArticleDTOS = new ArrayList<>(sortKeys.size());
+        if (sortKeys.isEmpty()) {
+            return journalArticleDTOS;
+        }
+        List<Long> ids = new ArrayList<>(sortKeys.size());
+        for (JournalArticleSortKey sortKey : sortKeys) {
+            ids.add(sortKey.getId());
+        }
+        Map<Long, JournalArticle> journalArticles = new HashMap<>();
+        try {
+            journalArticles = getJournalArticlesByIds(ids);
+        } catch (SystemException e) {
+            log.error("Can't get JournalArticles by ids " + ids + "." + e);
+        }
+        // Предвычисленные данные страницы читаются одним запросом
+        Map<Long, String> excerpts = JournalArticleExcerptLocalServiceUtil.getExcerpts(new ArrayList<>(journalArticles.values()));
+        for (JournalArticleSortKey sortKey : sortKeys) {
+            JournalArticle journalArticle = journalArticles.get(sortKey.getId());
+            if (journalArticle != null) {
+                journalArticleDTOS.add(toLocalizedDto(journalArticle, excerpts.get(journalArticle.getId()), locale));
+            }
+        }
+        return journalArticleDTOS;
+    }
+
+    /**
+     * Загружает версии {@link JournalArticle} одним запросом, ключ — id версии
+     *
+     * @param ids id версий
+     */
+    private static Map<Long, JournalArticle> getJournalArticlesByIds(List<Long> ids) throws SystemException {
+        DynamicQuery dynamicQuery = DynamicQueryFactoryUtil.forClass(JournalArticle.class, "journalArticle", PortalClassLoaderUtil.getClassLoader())
+                .add(PropertyFactoryUtil.forName(PROPERTY_ID).in(ids));
+        List<JournalArticle> journalArticleList = JournalArticleLocalServiceUtil.dynamicQuery(dynamicQuery);
+        Map<Long, JournalArticle> journalArticles = new HashMap<>();
+        for (JournalArticle journalArticle : journalArticleList) {
+            journalArticles.put(journalArticle.getId(), journalArticle);
+        }
         return journalArticles;
     }
 
@@ -145,11 +421,23 @@ public class JournalArticleDTOLocalServiceUtil {
      * @param displayTerms параметры поиска
      */
     private static DynamicQuery getJournalArticleDynamicQuery(JournalArticleDTODisplayTerms displayTerms) {
+        ClassLoader classLoader = PortalClassLoaderUtil.getClassLoader();
+        return DynamicQueryFactoryUtil.forClass(JournalArticle.class, "journalArticle", classLoader)
+                .add(getJournalArticleCriterion(displayTerms, classLoader));
+    }
+
+    /**
+     * Возращает условие поиска из запроса формы поиска. Условие можно добавлять в несколько запросов,
+     * поэтому поиск по тэгам и категориям выполняется один раз.
+     *
+     * @param displayTerms параметры поиска
+     * @param classLoader  загрузчик классов портала
+     */
+    static Junction getJournalArticleCriterion(JournalArticleDTODisplayTerms displayTerms, ClassLoader classLoader) {
         if (displayTerms == null) {
             throw new IllegalArgumentException("Can't get List<JournalArticle> with null JournalArticleDTODisplayTerms.");
         }
-        ClassLoader classLoader = PortalClassLoaderUtil.getClassLoader();
-        DynamicQuery dynamicQueryJournalArticle = DynamicQueryFactoryUtil.forClass(JournalArticle.class, "journalArticle", classLoader);
+        Junction criterionJournalArticle = RestrictionsFactoryUtil.conjunction();
         Junction junctionJournalArticle;
         String displayTermsKeywords = displayTerms.getKeywords();
 
@@ -200,17 +488,36 @@ public class JournalArticleDTOLocalServiceUtil {
 
         }
 //         Фильтрация контента по контенту
+        junctionJournalArticle.add(getStatusJunction(displayTerms.getEnableArchiveNews()));
+        criterionJournalArticle.add(junctionJournalArticle);
+
+        // Получение актуальной версии JournalArticle
+        criterionJournalArticle.add(getLatestVersionCriterion(classLoader));
+        return criterionJournalArticle;
+    }
+
+    /**
+     * Возвращает фильтр по статусу: опубликованные и, если включено, архивные новости
+     *
+     * @param enableArchiveNews показывать архивные новости
+     */
+    private static Junction getStatusJunction(Boolean enableArchiveNews) {
         Junction filteredJunction = RestrictionsFactoryUtil.disjunction();
-        if (displayTerms.getEnableArchiveNews()) {
+        if (Boolean.TRUE.equals(enableArchiveNews)) {
             log.info("Enable archive news.");
             filteredJunction.add(PropertyFactoryUtil.forName(PROPERTY_STATUS).eq(WorkflowConstants.STATUS_EXPIRED));
         }
 
         filteredJunction.add(PropertyFactoryUtil.forName(PROPERTY_STATUS).eq(WorkflowConstants.STATUS_APPROVED));
-        junctionJournalArticle.add(filteredJunction);
-        dynamicQueryJournalArticle.add(junctionJournalArticle);
+        return filteredJunction;
+    }
 
-        // Получение актуальной версии JournalArticle
+    /**
+     * Возвращает условие на актуальную версию {@link JournalArticle}
+     *
+     * @param classLoader загрузчик классов портала
+     */
+    private static Criterion getLatestVersionCriterion(ClassLoader classLoader) {
         DynamicQuery subSelect = DynamicQueryFactoryUtil.forClass(JournalArticle.class, "child", classLoader)
                 .add(PropertyFactoryUtil.forName(PROPERTY_ARTICLE).eqProperty("parent.articleId")).setProjection(ProjectionFactoryUtil.max(PROPERTY_VERSION));
 
@@ -218,8 +525,72 @@ public class JournalArticleDTOLocalServiceUtil {
                 .add(PropertyFactoryUtil.forName(PROPERTY_VERSION).in(subSelect))
                 .setProjection(ProjectionFactoryUtil.property(PROPERTY_UUID));
 
-        dynamicQueryJournalArticle.add(PropertyFactoryUtil.forName(PROPERTY_UUID).in(dynamicQueryUuidOfLastVersionJournalArticle));
-        return dynamicQueryJournalArticle;
+        return PropertyFactoryUtil.forName(PROPERTY_UUID).in(dynamicQueryUuidOfLastVersionJournalArticle);
+    }
+
+    /**
+     * Возвращает условие на последнюю версию строки запроса с псевдонимом journalArticle.
+     * Подзапрос максимальной версии связан с внешней строкой по groupId и articleId и читает только версии этой статьи.
+     *
+     * @param classLoader загрузчик классов портала
+     */
+    static Criterion getCorrelatedLatestVersionCriterion(ClassLoader classLoader) {
+        DynamicQuery maxVersion = DynamicQueryFactoryUtil.forClass(JournalArticle.class, "child", classLoader)
+                .add(PropertyFactoryUtil.forName("child." + PROPERTY_GROUP_ID).eqProperty("journalArticle." + PROPERTY_GROUP_ID))
+                .add(PropertyFactoryUtil.forName("child." + PROPERTY_ARTICLE).eqProperty("journalArticle." + PROPERTY_ARTICLE))
+                .setProjection(ProjectionFactoryUtil.max(PROPERTY_VERSION));
+        return PropertyFactoryUtil.forName(PROPERTY_VERSION).eq(maxVersion);
+    }
+
+    /**
+     * Возвращает запрос новостей, изменённых после метки (modifiedDate, id).
+     * Записи с той же датой изменения отбираются по id, чтобы постраничная выборка не теряла и не дублировала их.
+     *
+     * @param since             дата изменения последней полученной клиентом новости
+     * @param sinceId           id последней полученной клиентом новости
+     * @param enableArchiveNews показывать архивные новости
+     */
+    private static DynamicQuery getModifiedSinceDynamicQuery(Date since, long sinceId, boolean enableArchiveNews) {
+        ClassLoader classLoader = PortalClassLoaderUtil.getClassLoader();
+        DynamicQuery dynamicQuery = DynamicQueryFactoryUtil.forClass(JournalArticle.class, "journalArticle", classLoader);
+
+        if (since != null) {
+            Junction watermark = RestrictionsFactoryUtil.disjunction();
+            watermark.add(PropertyFactoryUtil.forName(PROPERTY_MODIFIED_DATE).gt(since));
+            Junction sameDate = RestrictionsFactoryUtil.conjunction();
+            sameDate.add(PropertyFactoryUtil.forName(PROPERTY_MODIFIED_DATE).eq(since));
+            sameDate.add(PropertyFactoryUtil.forName(PROPERTY_ID).gt(sinceId));
+            watermark.add(sameDate);
+            dynamicQuery.add(watermark);
+        }
+        dynamicQuery.add(getStatusJunction(enableArchiveNews));
+        dynamicQuery.add(getCorrelatedLatestVersionCriterion(classLoader));
+        return dynamicQuery;
+    }
+
+    /**
+     * Возвращает не больше max новостей, изменённых после метки, в порядке (modifiedDate, id).
+     * Ошибка базы данных не скрывается, чтобы клиент не принял её за пустую дельту.
+     *
+     * @param since             дата изменения последней полученной клиентом новости
+     * @param sinceId           id последней полученной клиентом новости
+     * @param enableArchiveNews показывать архивные новости
+     * @param locale            язык пользователя
+     * @param max               максимальное количество записей
+     */
+    public static List<JournalArticleDTO> getModifiedSinceJournalArticles(Date since, long sinceId, boolean enableArchiveNews, Locale locale, int max) throws SystemException {
+        DynamicQuery dynamicQuery = getModifiedSinceDynamicQuery(since, sinceId, enableArchiveNews);
+        dynamicQuery.addOrder(OrderFactoryUtil.asc(PROPERTY_MODIFIED_DATE));
+        dynamicQuery.addOrder(OrderFactoryUtil.asc(PROPERTY_ID));
+
+        List<JournalArticle> journalArticleList = JournalArticleLocalServiceUtil.dynamicQuery(dynamicQuery, 0, max);
+
+        Map<Long, String> excerpts = JournalArticleExcerptLocalServiceUtil.getExcerpts(journalArticleList);
+        List<JournalArticleDTO> journalArticleDTOS = new ArrayList<>();
+        for (JournalArticle journalArticle : journalArticleList) {
+            journalArticleDTOS.add(toLocalizedDto(journalArticle, excerpts.get(journalArticle.getId()), locale));
+        }
+        return journalArticleDTOS;
     }
 
     /**
@@ -0,0 +1,275 @@
+package ru.news.service;
+
+import com.liferay.portal.kernel.dao.orm.DynamicQuery;
+import com.liferay.portal.kernel.dao.orm.DynamicQueryFactoryUtil;
+import com.liferay.portal.kernel.dao.orm.OrderFactoryUtil;
+import com.liferay.portal.kernel.dao.orm.ProjectionFactoryUtil;
+import com.liferay.portal.kernel.dao.orm.PropertyFactoryUtil;
+import com.liferay.portal.kernel.exception.PortalException;
+import com.liferay.portal.kernel.exception.SystemException;
+import com.liferay.portal.kernel.json.JSONException;
+import com.liferay.portal.kernel.json.JSONFactoryUtil;
+import com.liferay.portal.kernel.json.JSONObject;
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.util.GetterUtil;
+import com.liferay.portal.kernel.util.PortalClassLoaderUtil;
+import com.liferay.portal.kernel.util.StringPool;
+import com.liferay.portal.kernel.util.UnicodeProperties;
+import com.liferay.portal.kernel.util.Validator;
+import com.liferay.portal.kernel.workflow.WorkflowConstants;
+import com.liferay.portal.model.Company;
+import com.liferay.portal.service.BackgroundTaskLocalServiceUtil;
+import com.liferay.portal.service.CompanyLocalServiceUtil;
+import com.liferay.portal.service.ServiceContext;
+import com.liferay.portlet.expando.model.ExpandoColumn;
+import com.liferay.portlet.expando.model.ExpandoColumnConstants;
+import com.liferay.portlet.expando.model.ExpandoTable;
+import com.liferay.portlet.expando.model.ExpandoTableConstants;
+import com.liferay.portlet.expando.model.ExpandoValue;
+import com.liferay.portlet.expando.service.ExpandoColumnLocalServiceUtil;
+import com.liferay.portlet.expando.service.ExpandoTableLocalServiceUtil;
+import com.liferay.portlet.expando.service.ExpandoValueLocalServiceUtil;
+import com.liferay.portlet.journal.model.JournalArticle;
+import com.liferay.portlet.journal.service.JournalArticleLocalServiceUtil;
+import ru.news.backgroundtask.JournalArticleExcerptBackfillExecutor;
+import ru.news.mapper.JournalArticleContentSAXMap;
+import ru.news.mapper.JournalArticleMap;
+import ru.news.model.JournalArticleDTO;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Предвычисляет при публикации и истечении новости заголовки и статический контент на всех доступных языках.
+ * Данные хранятся в JSON в Expando-колонке версии {@link JournalArticle}, поэтому при просмотре не требуется
+ * разбирать XML контента. Тэги и категории не предвычисляются: их переименование не создаёт новой версии статьи.
+ * Колонка создаётся при развёртывании портлета, а не в транзакции workflow.
+ */
+public class JournalArticleExcerptLocalServiceUtil {
+
+    private static final String EXPANDO_COLUMN_EXCERPT = "newsPortletExcerpt";
+    private static final String BACKFILL_TASK_NAME = "newsPortletExcerptBackfill";
+    private static final String PROPERTY_ID = "id";
+    private static final String PROPERTY_COMPANY_ID = "companyId";
+    private static final String PROPERTY_STATUS = "status";
+    private static final String PROPERTY_COLUMN_ID = "columnId";
+    private static final String PROPERTY_CLASS_PK = "classPK";
+    private static final String PROPERTY_DATA = "data";
+    private static final int BACKFILL_CHUNK_SIZE = 500;
+    private static Log log = LogFactoryUtil.getLog(JournalArticleExcerptLocalServiceUtil.class);
+
+    /**
+     * Создаёт скрытую Expando-колонку данных новостей компании, если её нет
+     *
+     * @param companyId companyId
+     */
+    public static void addExcerptColumn(long companyId) throws PortalException, SystemException {
+        ExpandoTable table;
+        try {
+            table = ExpandoTableLocalServiceUtil.getDefaultTable(companyId, JournalArticle.class.getName());
+        } catch (PortalException e) {
+            table = ExpandoTableLocalServiceUtil.addDefaultTable(companyId, JournalArticle.class.getName());
+        }
+        if (ExpandoColumnLocalServiceUtil.getColumn(table.getTableId(), EXPANDO_COLUMN_EXCERPT) != null) {
+            return;
+        }
+        ExpandoColumn column = ExpandoColumnLocalServiceUtil.addColumn(table.getTableId(), EXPANDO_COLUMN_EXCERPT, ExpandoColumnConstants.STRING);
+        // Служебная колонка не показывается в пользовательских полях
+        UnicodeProperties properties = column.getTypeSettingsProperties();
+        properties.setProperty(ExpandoColumnConstants.PROPERTY_HIDDEN, Boolean.TRUE.toString());
+        ExpandoColumnLocalServiceUtil.updateTypeSettings(column.getColumnId(), properties.toString());
+        log.info("Add excerpt column of JournalArticle in company " + companyId + ".");
+    }
+
+    /**
+     * Предвычисляет и сохраняет данные новости. Повторный вызов для той же версии ничего не записывает.
+     * Без колонки компании новость пропускается.
+     *
+     * @param journalArticle версия новости
+     */
+    public static void precompute(JournalArticle journalArticle) throws PortalException, SystemException {
+        if (journalArticle == null) {
+            throw new IllegalArgumentException("Can't precompute excerpt of null JournalArticle.");
+        }
+        if (!isSupported(journalArticle)) {
+            return;
+        }
+        ExpandoColumn column = getExcerptColumn(journalArticle.getCompanyId());
+        if (column == null) {
+            log.warn("Can't precompute excerpt of JournalArticle " + journalArticle.getId() + ", column isn't created in company " + journalArticle.getCompanyId() + ".");
+            return;
+        }
+        JSONObject titles = JSONFactoryUtil.createJSONObject();
+        JSONObject contents = JSONFactoryUtil.createJSONObject();
+        for (String languageId : journalArticle.getAvailableLanguageIds()) {
+            titles.put(languageId, journalArticle.getTitle(languageId));
+            contents.put(languageId, JournalArticleContentSAXMap.getContent(journalArticle.getContentByLocale(languageId)));
+        }
+        JSONObject excerpt = JSONFactoryUtil.createJSONObject();
+        excerpt.put("titles", titles);
+        excerpt.put("contents", contents);
+        String data = excerpt.toString();
+
+        String storedData = ExpandoValueLocalServiceUtil.getData(journalArticle.getCompanyId(), JournalArticle.class.getName(),
+                ExpandoTableConstants.DEFAULT_TABLE_NAME, column.getName(), journalArticle.getId(), StringPool.BLANK);
+        if (data.equals(storedData)) {
+            return;
+        }
+        ExpandoValueLocalServiceUtil.addValue(journalArticle.getCompanyId(), JournalArticle.class.getName(),
+                ExpandoTableConstants.DEFAULT_TABLE_NAME, column.getName(), journalArticle.getId(), data);
+        log.info("Precompute excerpt of JournalArticle " + journalArticle.getId() + ".");
+    }
+
+    /**
+     * Возвращает предвычисленные данные новостей одним запросом на компанию, ключ — id версии.
+     * Новостей без данных в результате нет.
+     *
+     * @param journalArticles версии новостей
+     */
+    public static Map<Long, String> getExcerpts(List<JournalArticle> journalArticles) {
+        if (journalArticles == null) {
+            throw new IllegalArgumentException("Can't get excerpts of null List<JournalArticle>.");
+        }
+        Map<Long, List<Long>> idsByCompany = new HashMap<>();
+        for (JournalArticle journalArticle : journalArticles) {
+            if (!isSupported(journalArticle)) {
+                continue;
+            }
+            List<Long> ids = idsByCompany.get(journalArticle.getCompanyId());
+            if (ids == null) {
+                ids = new ArrayList<>();
+                idsByCompany.put(journalArticle.getCompanyId(), ids);
+            }
+            ids.add(journalArticle.getId());
+        }
+        Map<Long, String> excerpts = new HashMap<>();
+        for (Map.Entry<Long, List<Long>> entry : idsByCompany.entrySet()) {
+            try {
+                ExpandoColumn column = getExcerptColumn(entry.getKey());
+                if (column == null) {
+                    continue;
+                }
+                DynamicQuery dynamicQuery = DynamicQueryFactoryUtil.forClass(ExpandoValue.class, PortalClassLoaderUtil.getClassLoader())
+                        .add(PropertyFactoryUtil.forName(PROPERTY_COLUMN_ID).eq(column.getColumnId()))
+                        .add(PropertyFactoryUtil.forName(PROPERTY_CLASS_PK).in(entry.getValue()))
+                        .setProjection(ProjectionFactoryUtil.projectionList()
+                                .add(ProjectionFactoryUtil.property(PROPERTY_CLASS_PK))
+                                .add(ProjectionFactoryUtil.property(PROPERTY_DATA)));
+                List<Object[]> rows = ExpandoValueLocalServiceUtil.dynamicQuery(dynamicQuery);
+                for (Object[] row : rows) {
+                    excerpts.put(GetterUtil.getLong(row[0]), GetterUtil.getString(row[1]));
+                }
+            } catch (SystemException e) {
+                log.error("Can't get excerpts of JournalArticles " + entry.getValue() + "." + e);
+            }
+        }
+        return excerpts;
+    }
+
+    /**
+     * Возвращает переведённую новость из предвычисленных данных или null, если их нет
+     *
+     * @param journalArticle версия новости
+     * @param data           данные из {@link #getExcerpts(List)} или null
+     * @param locale         язык пользователя
+     */
+    public static JournalArticleDTO toDto(JournalArticle journalArticle, String data, Locale locale) {
+        if (journalArticle == null) {
+            throw new IllegalArgumentException("Can't get excerpt of null JournalArticle.");
+        }
+        if (Validator.isBlank(data)) {
+            return null;
+        }
+        try {
+            return JournalArticleMap.toDto(journalArticle, JSONFactoryUtil.createJSONObject(data), locale.toString());
+        } catch (JSONException e) {
+            log.error("Can't parse excerpt of JournalArticle " + journalArticle.getId() + "." + e);
+        }
+        return null;
+    }
+
+    /**
+     * Новостью портлета считается статья без структуры: её контент содержит /root/static-content.
+     * Структурированные статьи не предвычисляются.
+     *
+     * @param journalArticle версия статьи
+     */
+    public static boolean isSupported(JournalArticle journalArticle) {
+        return Validator.isNull(journalArticle.getStructureId());
+    }
+
+    /**
+     * Ставит в очередь фоновую задачу предвычисления существующих новостей компании.
+     * Задача одна на компанию: пока она не завершена, новая не создаётся.
+     *
+     * @param userId             пользователь, запустивший задачу
+     * @param companyId          companyId
+     * @param servletContextName имя контекста портлета, из которого загружается исполнитель задачи
+     * @param serviceContext     контекст запроса
+     * @return false, если задача уже выполняется
+     */
+    public static boolean addBackfillTask(long userId, long companyId, String servletContextName, ServiceContext serviceContext) throws PortalException, SystemException {
+        Company company = CompanyLocalServiceUtil.getCompany(companyId);
+        if (BackgroundTaskLocalServiceUtil.getBackgroundTasksCount(company.getGroupId(), JournalArticleExcerptBackfillExecutor.class.getName(), false) > 0) {
+            return false;
+        }
+        Map<String, Serializable> taskContextMap = new HashMap<>();
+        taskContextMap.put(JournalArticleExcerptBackfillExecutor.TASK_CONTEXT_COMPANY_ID, companyId);
+        BackgroundTaskLocalServiceUtil.addBackgroundTask(userId, company.getGroupId(), BACKFILL_TASK_NAME, new String[]{servletContextName},
+                JournalArticleExcerptBackfillExecutor.class, taskContextMap, serviceContext);
+        return true;
+    }
+
+    /**
+     * Предвычисляет данные всех опубликованных и архивных новостей компании, созданных до появления хука.
+     * Новости читаются порциями по id, ошибка одной новости не прерывает предвычисление.
+     * Выполняется в фоновой задаче, каждая новость сохраняется в своей транзакции.
+     *
+     * @param companyId companyId
+     * @return количество предвычисленных новостей
+     */
+    public static int backfill(long companyId) throws SystemException {
+        ClassLoader classLoader = PortalClassLoaderUtil.getClassLoader();
+        List<Integer> statuses = new ArrayList<>();
+        statuses.add(WorkflowConstants.STATUS_APPROVED);
+        statuses.add(WorkflowConstants.STATUS_EXPIRED);
+
+        long lastId = 0;
+        int processed = 0;
+        int scanned = 0;
+        List<JournalArticle> journalArticles;
+        do {
+            DynamicQuery dynamicQuery = DynamicQueryFactoryUtil.forClass(JournalArticle.class, "journalArticle", classLoader)
+                    .add(PropertyFactoryUtil.forName(PROPERTY_COMPANY_ID).eq(companyId))
+                    .add(PropertyFactoryUtil.forName(PROPERTY_ID).gt(lastId))
+                    .add(PropertyFactoryUtil.forName(PROPERTY_STATUS).in(statuses))
+                    .add(JournalArticleDTOLocalServiceUtil.getCorrelatedLatestVersionCriterion(classLoader))
+                    .addOrder(OrderFactoryUtil.asc(PROPERTY_ID));
+            journalArticles = JournalArticleLocalServiceUtil.dynamicQuery(dynamicQuery, 0, BACKFILL_CHUNK_SIZE);
+            for (JournalArticle journalArticle : journalArticles) {
+                lastId = journalArticle.getId();
+                try {
+                    precompute(journalArticle);
+                    processed++;
+                } catch (PortalException | SystemException | RuntimeException e) {
+                    log.error("Can't precompute excerpt of JournalArticle " + journalArticle.getId() + "." + e);
+                }
+            }
+            scanned += journalArticles.size();
+        } while (journalArticles.size() == BACKFILL_CHUNK_SIZE);
+        log.info("Backfill excerpts of " + processed + " of " + scanned + " JournalArticles in company " + companyId + ".");
+        return processed;
+    }
+
+    /**
+     * Возвращает колонку данных новостей или null, если она ещё не создана
+     */
+    private static ExpandoColumn getExcerptColumn(long companyId) throws SystemException {
+        return ExpandoColumnLocalServiceUtil.getDefaultTableColumn(companyId, JournalArticle.class.getName(), EXPANDO_COLUMN_EXCERPT);
+    }
+}
@@ -0,0 +1,194 @@
+package ru.news.service;
+
+import com.liferay.portal.kernel.cache.PortalCache;
+import com.liferay.portal.kernel.cache.SingleVMPoolUtil;
+import com.liferay.portal.kernel.dao.jdbc.DataAccess;
+import com.liferay.portal.kernel.dao.orm.*;
+import com.liferay.portal.kernel.exception.SystemException;
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.util.GetterUtil;
+import com.liferay.portal.kernel.util.PortalClassLoaderUtil;
+import com.liferay.portal.kernel.util.StringPool;
+import com.liferay.portal.kernel.util.StringUtil;
+import com.liferay.portal.kernel.util.Validator;
+import com.liferay.portal.util.PortalUtil;
+import com.liferay.portlet.journal.model.JournalArticle;
+import com.liferay.portlet.journal.service.JournalArticleLocalServiceUtil;
+import ru.news.comparator.FacetCountDTOComparator;
+import ru.news.constant.DisplayTermsParam;
+import ru.news.model.FacetCountDTO;
+import ru.news.search.JournalArticleDTODisplayTerms;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Считает количество найденных новостей по тэгам и категориям для текущих параметров поиска.
+ * resourcePrimKey найденных новостей читаются порциями по id, для каждой порции выполняется один
+ * GROUP BY по таблице связей AssetEntry. Таблицы связей в Liferay 6.2 не доступны через DynamicQuery,
+ * поэтому подсчёт выполняется через JDBC с параметрами, а не со списком значений в тексте запроса.
+ */
+public class JournalArticleFacetLocalServiceUtil {
+
+    private static final String PROPERTY_ID = "id";
+    private static final String PROPERTY_RESOURCE_PRIM_KEY = "resourcePrimKey";
+    private static final String SQL_COUNT_TAGS = "select assetTag.name, count(*) from AssetEntries_AssetTags link "
+            + "inner join AssetEntry assetEntry on assetEntry.entryId = link.entryId "
+            + "inner join AssetTag assetTag on assetTag.tagId = link.tagId "
+            + "where assetEntry.classNameId = ? and assetEntry.classPK in ([$CLASS_PKS$]) group by assetTag.name";
+    private static final String SQL_COUNT_CATEGORIES = "select assetCategory.name, count(*) from AssetEntries_AssetCategories link "
+            + "inner join AssetEntry assetEntry on assetEntry.entryId = link.entryId "
+            + "inner join AssetCategory assetCategory on assetCategory.categoryId = link.categoryId "
+            + "where assetEntry.classNameId = ? and assetEntry.classPK in ([$CLASS_PKS$]) group by assetCategory.name";
+    private static final String SQL_CLASS_PKS = "[$CLASS_PKS$]";
+    private static final String CACHE_NAME = JournalArticleFacetLocalServiceUtil.class.getName();
+    private static final int CACHE_TIME_TO_LIVE = 60;
+    // Меньше ограничения Oracle в 1000 значений для IN
+    private static final int CHUNK_SIZE = 500;
+    private static final int FACET_SIZE = 10;
+    private static Log log = LogFactoryUtil.getLog(JournalArticleFacetLocalServiceUtil.class);
+
+    @SuppressWarnings("unchecked")
+    private static PortalCache<String, LinkedHashMap<String, List<FacetCountDTO>>> portalCache = (PortalCache<String, LinkedHashMap<String, List<FacetCountDTO>>>) SingleVMPoolUtil.getCache(CACHE_NAME);
+
+    /**
+     * Возвращает самые частые тэги и категории найденных новостей, ключ — имя параметра поиска
+     * ({@link DisplayTermsParam#TAG}, {@link DisplayTermsParam#CATEGORY}).
+     * Фасет пуст, если ссылка на него не может воспроизвести поиск с тем же количеством новостей,
+     * см. {@link #isReproducible(JournalArticleDTODisplayTerms, String)}.
+     *
+     * @param displayTerms параметры поиска
+     */
+    public static Map<String, List<FacetCountDTO>> getFacets(JournalArticleDTODisplayTerms displayTerms) {
+        if (displayTerms == null) {
+            throw new IllegalArgumentException("Can't get facets with null JournalArticleDTODisplayTerms.");
+        }
+        String key = getKey(displayTerms);
+        LinkedHashMap<String, List<FacetCountDTO>> facets = portalCache.get(key);
+        if (facets != null) {
+            return facets;
+        }
+
+        boolean tagReproducible = isReproducible(displayTerms, displayTerms.getTag());
+        boolean categoryReproducible = isReproducible(displayTerms, displayTerms.getCategory());
+        Map<String, Long> tagCounts = new HashMap<>();
+        Map<String, Long> categoryCounts = new HashMap<>();
+        if (tagReproducible || categoryReproducible) {
+            ClassLoader classLoader = PortalClassLoaderUtil.getClassLoader();
+            Junction criterion = JournalArticleDTOLocalServiceUtil.getJournalArticleCriterion(displayTerms, classLoader);
+            long classNameId = PortalUtil.getClassNameId(JournalArticle.class);
+
+            long lastId = 0;
+            List<Object[]> rows;
+            do {
+                DynamicQuery dynamicQuery = DynamicQueryFactoryUtil.forClass(JournalArticle.class, "journalArticle", classLoader)
+                        .add(criterion)
+                        .add(PropertyFactoryUtil.forName(PROPERTY_ID).gt(lastId))
+                        .setProjection(ProjectionFactoryUtil.projectionList()
+                                .add(ProjectionFactoryUtil.property(PROPERTY_ID))
+                                .add(ProjectionFactoryUtil.property(PROPERTY_RESOURCE_PRIM_KEY)))
+                        .addOrder(OrderFactoryUtil.asc(PROPERTY_ID));
+                rows = new ArrayList<>();
+                try {
+                    rows = JournalArticleLocalServiceUtil.dynamicQuery(dynamicQuery, 0, CHUNK_SIZE);
+                } catch (SystemException e) {
+                    log.error("Can't get resourcePrimKeys of found JournalArticles after id " + lastId + "." + e);
+                }
+                if (rows.isEmpty()) {
+                    break;
+                }
+                long[] classPKs = new long[rows.size()];
+                for (int i = 0; i < classPKs.length; i++) {
+                    classPKs[i] = GetterUtil.getLong(rows.get(i)[1]);
+                }
+                lastId = GetterUtil.getLong(rows.get(rows.size() - 1)[0]);
+
+                if (tagReproducible) {
+                    addCounts(SQL_COUNT_TAGS, classNameId, classPKs, tagCounts);
+                }
+                if (categoryReproducible) {
+                    addCounts(SQL_COUNT_CATEGORIES, classNameId, classPKs, categoryCounts);
+                }
+            } while (rows.size() == CHUNK_SIZE);
+        }
+
+        facets = new LinkedHashMap<>();
+        facets.put(DisplayTermsParam.TAG.getName(), getTopFacetCounts(tagCounts));
+        facets.put(DisplayTermsParam.CATEGORY.getName(), getTopFacetCounts(categoryCounts));
+        portalCache.put(key, facets, CACHE_TIME_TO_LIVE);
+        return facets;
+    }
+
+    /**
+     * Ссылка фасета выполняет расширенный поиск с оператором AND и подставляет значение фасета в свой параметр.
+     * Она воспроизводит текущий поиск, только если поиск не использует ключевые слова простого поиска,
+     * не объединяет условия через OR и ещё не фильтрует по этому параметру.
+     *
+     * @param displayTerms параметры поиска
+     * @param value        текущее значение параметра фасета
+     */
+    public static boolean isReproducible(JournalArticleDTODisplayTerms displayTerms, String value) {
+        if (!displayTerms.isAdvancedSearch()) {
+            return Validator.isBlank(displayTerms.getKeywords());
+        }
+        return displayTerms.isAndOperator() && Validator.isBlank(value);
+    }
+
+    /**
+     * Добавляет количество связей найденных новостей одним GROUP BY по порции classPK
+     *
+     * @param sql         запрос подсчёта
+     * @param classNameId classNameId {@link JournalArticle}
+     * @param classPKs    resourcePrimKey порции новостей
+     * @param counts      количество по имени
+     */
+    private static void addCounts(String sql, long classNameId, long[] classPKs, Map<String, Long> counts) {
+        String[] placeholders = new String[classPKs.length];
+        for (int i = 0; i < placeholders.length; i++) {
+            placeholders[i] = StringPool.QUESTION;
+        }
+        Connection con = null;
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        try {
+            con = DataAccess.getConnection();
+            ps = con.prepareStatement(StringUtil.replace(sql, SQL_CLASS_PKS, StringUtil.merge(placeholders)));
+            ps.setLong(1, classNameId);
+            for (int i = 0; i < classPKs.length; i++) {
+                ps.setLong(i + 2, classPKs[i]);
+            }
+            rs = ps.executeQuery();
+            while (rs.next()) {
+                String name = rs.getString(1);
+                Long count = counts.get(name);
+                counts.put(name, rs.getLong(2) + (count != null ? count : 0));
+            }
+        } catch (SQLException e) {
+            log.error("Can't count facets of found JournalArticles." + e);
+        } finally {
+            DataAccess.cleanUp(con, ps, rs);
+        }
+    }
+
+    private static List<FacetCountDTO> getTopFacetCounts(Map<String, Long> counts) {
+        List<FacetCountDTO> facetCounts = new ArrayList<>(counts.size());
+        for (Map.Entry<String, Long> count : counts.entrySet()) {
+            facetCounts.add(new FacetCountDTO(count.getKey(), count.getValue()));
+        }
+        facetCounts.sort(new FacetCountDTOComparator().reversed());
+        return facetCounts.size() > FACET_SIZE ? new ArrayList<>(facetCounts.subList(0, FACET_SIZE)) : facetCounts;
+    }
+
+    private static String getKey(JournalArticleDTODisplayTerms displayTerms) {
+        return StringUtil.merge(new Object[]{displayTerms.getKeywords(), displayTerms.isAdvancedSearch(), displayTerms.isAndOperator(),
+                displayTerms.getTitle(), displayTerms.getTag(), displayTerms.getCategory(), displayTerms.getEnableArchiveNews()}, StringPool.PIPE);
+    }
+}
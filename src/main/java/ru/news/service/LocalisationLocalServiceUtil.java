@@ -37,6 +37,22 @@ public class LocalisationLocalServiceUtil {
             throw new IllegalArgumentException("No journalArticle with groupId " + journalArticleDTO.getGroupId() + " and articleId " + journalArticleDTO.getArticleId() + ".");
         }
 
+        localize(journalArticleDTO, journalArticle, locale);
+    }
+
+    /**
+     * Переводит {@link JournalArticleDTO} по уже загруженной сущности {@link JournalArticle}, без повторного запроса
+     * последней версии.
+     *
+     * @param journalArticleDTO новость
+     * @param journalArticle    сущность, из которой построена новость
+     * @param locale            язык пользователя
+     */
+    public static void localize(JournalArticleDTO journalArticleDTO, JournalArticle journalArticle, Locale locale) {
+        if ((journalArticleDTO == null) || (journalArticle == null)) {
+            throw new IllegalArgumentException("Can't localize journalArticleDTO " + journalArticleDTO + " by journalArticle " + journalArticle + ".");
+        }
+
         String languageIdDefault = GetterUtil.get(locale.toString(), journalArticle.getDefaultLanguageId());
         Locale localeDefault = LanguageUtil.getLocale(languageIdDefault);
 
@@ -1,3 +1,4 @@
+<%@ page import="com.liferay.portal.kernel.util.Constants" %>
 <%@ page import="com.liferay.portal.kernel.util.GetterUtil" %>
 <%@ page import="ru.news.constant.NewsPortletConstant" %>
 <%@ taglib uri="http://liferay.com/tld/portlet" prefix="liferay-portlet" %>
@@ -16,6 +17,10 @@
 
 <liferay-ui:success key="<%=NewsPortletConstant.ACTION_REQUEST_KEY_CONFIG_STORED %>"
                     message="portlet.configuration.label.configuration-saved-success"/>
+<liferay-ui:success key="<%=NewsPortletConstant.ACTION_REQUEST_KEY_EXCERPTS_BACKFILL_STARTED %>"
+                    message="portlet.configuration.message.excerpts-backfill-started"/>
+<liferay-ui:success key="<%=NewsPortletConstant.ACTION_REQUEST_KEY_EXCERPTS_BACKFILL_RUNNING %>"
+                    message="portlet.configuration.message.excerpts-backfill-running"/>
 
 <aui:form method="post" action="<%=configurationURL %>">
     <label>
@@ -33,3 +38,9 @@
     </label>
     <button type="submit"><liferay-ui:message key="portlet.configuration.button.save-view-archive-news"/></button>
 </aui:form>
+
+<aui:form method="post" action="<%=configurationURL %>">
+    <input type="hidden" name='<portlet:namespace/><%=Constants.CMD %>'
+           value="<%=NewsPortletConstant.CMD_BACKFILL_EXCERPTS %>">
+    <button type="submit"><liferay-ui:message key="portlet.configuration.button.backfill-excerpts"/></button>
+</aui:form>
@@ -1,14 +1,22 @@
 <%@ taglib prefix="liferay-ui" uri="http://liferay.com/tld/ui" %>
 <%@ taglib prefix="aui" uri="http://alloy.liferay.com/tld/aui" %>
+<%@ page import="com.liferay.portal.kernel.dao.search.DisplayTerms" %>
+<%@ page import="com.liferay.portal.kernel.util.HtmlUtil" %>
 <%@ page import="ru.news.search.JournalArticleDTODisplayTerms" %>
 <%@ page import="ru.news.search.JournalArticleDTOSearchContainer" %>
 <%@ page import="ru.news.constant.DisplayTermsParam" %>
+<%@ page import="ru.news.model.FacetCountDTO" %>
+<%@ page import="ru.news.service.JournalArticleFacetLocalServiceUtil" %>
+<%@ page import="javax.portlet.PortletURL" %>
+<%@ page import="java.util.List" %>
+<%@ page import="java.util.Map" %>
 
 <%@include file="init.jsp" %>
 
 <%
     JournalArticleDTOSearchContainer searchContainer = (JournalArticleDTOSearchContainer) request.getAttribute("liferay-ui:search:searchContainer");
     JournalArticleDTODisplayTerms displayTerms = (JournalArticleDTODisplayTerms) searchContainer.getDisplayTerms();
+    Map<String, List<FacetCountDTO>> facets = JournalArticleFacetLocalServiceUtil.getFacets(displayTerms);
 %>
 
 <liferay-ui:search-toggle buttonLabel="search-toggle.label.search-button.title" displayTerms="<%=displayTerms %>"
@@ -19,4 +27,32 @@
                value="<%=displayTerms.getTag() %>"/>
     <aui:input label="search-toggle.label.category" name="<%=DisplayTermsParam.CATEGORY.getName() %>"
                value="<%=displayTerms.getCategory() %>"/>
-</liferay-ui:search-toggle>
\ No newline at end of file
+</liferay-ui:search-toggle>
+
+<%
+    for (Map.Entry<String, List<FacetCountDTO>> facet : facets.entrySet()) {
+        if (facet.getValue().isEmpty()) {
+            continue;
+        }
+%>
+<div class="news-facet">
+    <liferay-ui:message key='<%="search-facet.label." + facet.getKey() %>'/>:
+    <%
+        // Фасеты есть только для поисков, которые ссылка воспроизводит: без ключевых слов и с оператором AND
+        for (FacetCountDTO facetCount : facet.getValue()) {
+            PortletURL facetURL = renderResponse.createRenderURL();
+            facetURL.setParameter(DisplayTerms.ADVANCED_SEARCH, Boolean.TRUE.toString());
+            facetURL.setParameter(DisplayTerms.AND_OPERATOR, Boolean.TRUE.toString());
+            facetURL.setParameter(DisplayTermsParam.TITLE.getName(), displayTerms.getTitle());
+            facetURL.setParameter(DisplayTermsParam.TAG.getName(), displayTerms.getTag());
+            facetURL.setParameter(DisplayTermsParam.CATEGORY.getName(), displayTerms.getCategory());
+            facetURL.setParameter(facet.getKey(), facetCount.getName());
+    %>
+    <a href="<%=facetURL %>"><%=HtmlUtil.escape(facetCount.getName()) %> (<%=facetCount.getCount() %>)</a>
+    <%
+        }
+    %>
+</div>
+<%
+    }
+%>
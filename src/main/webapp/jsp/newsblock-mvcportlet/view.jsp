@@ -1,9 +1,12 @@
 <%@ page import="com.liferay.portal.kernel.util.GetterUtil" %>
+<%@ page import="ru.news.comparator.JournalArticleSortKeyComparator" %>
 <%@ page import="ru.news.constant.NewsPortletConstant" %>
+<%@ page import="ru.news.model.JournalArticleDTO" %>
 <%@ page import="ru.news.search.JournalArticleDTODisplayTerms" %>
 <%@ page import="ru.news.search.JournalArticleDTOSearchContainer" %>
 <%@ page import="ru.news.service.JournalArticleDTOLocalServiceUtil" %>
 <%@ page import="javax.portlet.PortletURL" %>
+<%@ page import="java.util.List" %>
 <%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
 <%@ taglib prefix="fn" uri="http://java.sun.com/jsp/jstl/functions" %>
 <%@ taglib prefix="liferay-portlet" uri="http://liferay.com/tld/portlet" %>
@@ -25,6 +28,15 @@
 
     displayTerms.setEnableArchiveNews(showArchiveNewsFlag);
     displayTerms.setLocale(user.getLocale());
+
+    // Порядок по заголовку не выражается в SQL и отбирается потоково, остальное сортируется по дате в SQL
+    List<JournalArticleDTO> results;
+    if (articleDTOSearchContainer.isOrderByTitle()) {
+        results = JournalArticleDTOLocalServiceUtil.getJournalArticles(displayTerms, articleDTOSearchContainer.getStart(), articleDTOSearchContainer.getEnd(),
+                new JournalArticleSortKeyComparator(user.getLocale(), articleDTOSearchContainer.isOrderByAsc()));
+    } else {
+        results = JournalArticleDTOLocalServiceUtil.getJournalArticles(displayTerms, articleDTOSearchContainer.getStart(), articleDTOSearchContainer.getEnd());
+    }
 %>
 
 <aui:form method="POST" action="<%=portletURLString %>">
@@ -33,7 +45,7 @@
         <liferay-ui:search-form page="<%=NewsPortletConstant.PAGE_SEARCH %>"
                                 servletContext="<%=application %>"/>
         <liferay-ui:search-container-results
-                results="<%=JournalArticleDTOLocalServiceUtil.getJournalArticles(displayTerms, articleDTOSearchContainer.getStart(), articleDTOSearchContainer.getEnd()) %>"
+                results="<%=results %>"
                 total="<%=JournalArticleDTOLocalServiceUtil.getTotalJournalArticleCount(displayTerms) %>"
         />
 
@@ -49,6 +61,8 @@
 
             <liferay-ui:search-container-column-text href="${getViewNewsURL}"
                                                      name="search-container-column-text.label.title"
+                                                     orderable="<%=true %>"
+                                                     orderableProperty="<%=NewsPortletConstant.SEARCH_CONTAINER_COLUMN_PROPERTY_TITLE %>"
                                                      property="<%=NewsPortletConstant.SEARCH_CONTAINER_COLUMN_PROPERTY_TITLE %>"/>
             <liferay-ui:search-container-column-text name="search-container-column-text.label.content"
                                                      property="<%=NewsPortletConstant.SEARCH_CONTAINER_COLUMN_PROPERTY_CONTENT %>"/>